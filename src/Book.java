@@ -1,3 +1,5 @@
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.StringProperty;
@@ -18,7 +20,7 @@ public class Book implements Serializable {
     // Transient JavaFX properties
     private transient StringProperty title;
     private transient StringProperty author;
-    private transient StringProperty isbn;
+    private transient ReadOnlyStringWrapper isbn; // Read-only: equality and the library's ISBN index depend on it
     private transient IntegerProperty yearOfPublication;
     private transient StringProperty genre;
 
@@ -33,7 +35,7 @@ public class Book implements Serializable {
     public Book(String title, String author, String isbn, int yearOfPublication, String genre) {
         this.title = new SimpleStringProperty(title);
         this.author = new SimpleStringProperty(author);
-        this.isbn = new SimpleStringProperty(isbn);
+        this.isbn = new ReadOnlyStringWrapper(isbn);
         this.yearOfPublication = new SimpleIntegerProperty(yearOfPublication);
         this.genre = new SimpleStringProperty(genre);
     }
@@ -47,8 +49,8 @@ public class Book implements Serializable {
         return author;
     }
 
-    public StringProperty isbnProperty() {
-        return isbn;
+    public ReadOnlyStringProperty isbnProperty() {
+        return isbn.getReadOnlyProperty();
     }
 
     public IntegerProperty yearOfPublicationProperty() {
@@ -94,7 +96,7 @@ public class Book implements Serializable {
         ois.defaultReadObject();
         title = new SimpleStringProperty(titleValue);
         author = new SimpleStringProperty(authorValue);
-        isbn = new SimpleStringProperty(isbnValue);
+        isbn = new ReadOnlyStringWrapper(isbnValue);
         yearOfPublication = new SimpleIntegerProperty(yearValue);
         genre = new SimpleStringProperty(genreValue);
     }
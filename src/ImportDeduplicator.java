@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * ImportDeduplicator filters CSV rows whose ISBN is already in the library or
+ * earlier in the same import, before any Book is created for them.
+ * Each batch is parsed in parallel chunks and merged back in file order.
+ */
+
+
+public class ImportDeduplicator {
+
+    // Rows per parallel chunk; small files stay in a single chunk
+    private static final int CHUNK_SIZE = 4096;
+
+    // Rows the caller should hand to deduplicate() at a time, bounding memory for large files
+    public static final int BATCH_SIZE = CHUNK_SIZE * Runtime.getRuntime().availableProcessors();
+
+    // Library ISBNs plus every ISBN accepted so far in this import
+    private final IsbnTable knownIsbns;
+
+    private int rowsRead;
+    private int duplicates;
+    private int rejected;
+
+    public ImportDeduplicator(Set<String> libraryIsbns) {
+        knownIsbns = new IsbnTable(libraryIsbns.size());
+        libraryIsbns.forEach(knownIsbns::add);
+    }
+
+    // Returns the new books from the given data rows (header already skipped), first occurrence wins
+    public List<Book> deduplicate(List<String> lines) {
+        int chunks = (lines.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<ChunkResult> results = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(c -> parseChunk(lines, c * CHUNK_SIZE, Math.min(lines.size(), (c + 1) * CHUNK_SIZE)))
+                .collect(Collectors.toList());
+
+        // Merge in chunk order so duplicates across chunks and batches keep the earliest row
+        List<Book> newBooks = new ArrayList<>();
+        rowsRead += lines.size();
+        for (ChunkResult result : results) {
+            duplicates += result.duplicates;
+            rejected += result.rejected;
+            for (Book book : result.books) {
+                if (knownIsbns.add(book.getIsbn())) {
+                    newBooks.add(book);
+                } else {
+                    duplicates++;
+                }
+            }
+        }
+        return newBooks;
+    }
+
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    // Fraction of data rows skipped as duplicates (0.0 for an empty file)
+    public double getDuplicateRate() {
+        return rowsRead == 0 ? 0.0 : (double) duplicates / rowsRead;
+    }
+
+    // Runs on a worker thread; only reads knownIsbns, which is updated in the merge
+    private ChunkResult parseChunk(List<String> lines, int from, int to) {
+        ChunkResult result = new ChunkResult();
+        IsbnTable chunkIsbns = new IsbnTable(0); // Grows only with new ISBNs
+        int[] commas = new int[4];
+        for (int i = from; i < to; i++) {
+            String line = lines.get(i);
+
+            // Same rule as line.split(","): trailing empty fields are dropped, exactly 5 fields remain
+            int end = line.length();
+            while (end > 0 && line.charAt(end - 1) == ',') {
+                end--;
+            }
+            int count = 0;
+            for (int pos = line.indexOf(','); pos >= 0 && pos < end; pos = line.indexOf(',', pos + 1)) {
+                if (count == commas.length) {
+                    count++;
+                    break;
+                }
+                commas[count++] = pos;
+            }
+            if (count != commas.length) {
+                result.rejected++;
+                continue;
+            }
+
+            int year;
+            try {
+                year = Integer.parseInt(line, commas[2] + 1, commas[3], 10);
+            } catch (NumberFormatException e) {
+                result.rejected++;
+                continue;
+            }
+
+            // Only valid rows are classified; duplicates are rejected without allocating
+            int isbnStart = commas[1] + 1;
+            int isbnEnd = commas[2];
+            if (knownIsbns.contains(line, isbnStart, isbnEnd) || chunkIsbns.contains(line, isbnStart, isbnEnd)) {
+                result.duplicates++;
+                continue;
+            }
+
+            String title = line.substring(0, commas[0]);
+            String author = line.substring(commas[0] + 1, commas[1]);
+            String isbn = line.substring(isbnStart, isbnEnd);
+            String genre = line.substring(commas[3] + 1, end);
+
+            chunkIsbns.add(isbn);
+            result.books.add(new Book(title, author, isbn, year, genre));
+        }
+        return result;
+    }
+
+    private static class ChunkResult {
+        private final List<Book> books = new ArrayList<>();
+        private int duplicates;
+        private int rejected;
+    }
+
+    /**
+     * Open-addressing set of ISBNs that can be probed with a range of a CSV line,
+     * so duplicate rows are recognized without creating a substring.
+     */
+    private static class IsbnTable {
+        private String[] slots;
+        private int size;
+
+        IsbnTable(int expectedEntries) {
+            int capacity = 16;
+            while (capacity < expectedEntries * 2) {
+                capacity <<= 1;
+            }
+            slots = new String[capacity];
+        }
+
+        boolean contains(String line, int start, int end) {
+            int length = end - start;
+            int mask = slots.length - 1;
+            for (int i = hash(line, start, end) & mask; slots[i] != null; i = (i + 1) & mask) {
+                String isbn = slots[i];
+                if (isbn.length() == length && line.regionMatches(start, isbn, 0, length)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Returns false if the ISBN was already present
+        boolean add(String isbn) {
+            if (contains(isbn, 0, isbn.length())) {
+                return false;
+            }
+            if ((size + 1) * 2 > slots.length) {
+                resize();
+            }
+            insert(slots, isbn);
+            size++;
+            return true;
+        }
+
+        private void resize() {
+            String[] grown = new String[slots.length * 2];
+            for (String isbn : slots) {
+                if (isbn != null) {
+                    insert(grown, isbn);
+                }
+            }
+            slots = grown;
+        }
+
+        private static void insert(String[] table, String isbn) {
+            int mask = table.length - 1;
+            int i = hash(isbn, 0, isbn.length()) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = isbn;
+        }
+
+        // String.hashCode over the range, mixed so sequential ISBNs do not form long probe runs
+        private static int hash(String chars, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + chars.charAt(i);
+            }
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 import java.io.*;
-import java.util.HashSet;//
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.BufferedReader;
@@ -7,6 +8,8 @@ import java.io.FileReader;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.FXCollections;
 
@@ -21,14 +24,24 @@ public class Library {
 
     private ObservableList<Book> books;
 
+    // Number of books per ISBN, kept in sync with the list for constant-time duplicate checks
+    private final Map<String, Integer> isbnIndex = new HashMap<>();
+
 
     public Library() {
         books = FXCollections.observableArrayList();
+        books.addListener((ListChangeListener<Book>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(book ->
+                        isbnIndex.computeIfPresent(book.getIsbn(), (isbn, count) -> count == 1 ? null : count - 1));
+                change.getAddedSubList().forEach(book -> isbnIndex.merge(book.getIsbn(), 1, Integer::sum));
+            }
+        });
     }
 
     // Add a book (prevents duplicates using ISBN)
     public boolean addBook(Book book) {
-        if (!books.contains(book)) {
+        if (!isbnIndex.containsKey(book.getIsbn())) {
             books.add(book);
             return true;
         }
@@ -92,31 +105,31 @@ public class Library {
     }
 
 
-    public void importFromCSV(String fileName) {
+    // Import books from CSV, skipping rows whose ISBN is already in the library or earlier in the file.
+    // Returns the deduplicator holding the import statistics.
+    public ImportDeduplicator importFromCSV(String fileName) {
+        ImportDeduplicator deduplicator = new ImportDeduplicator(isbnIndex.keySet());
         try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+            List<String> batch = new ArrayList<>();
             String line;
             reader.readLine(); // Skip header row
             while ((line = reader.readLine()) != null) {
-                String[] fields = line.split(",");
-                if (fields.length == 5) {
-                    String title = fields[0];
-                    String author = fields[1];
-                    String isbn = fields[2];
-                    int year = Integer.parseInt(fields[3]);
-                    String genre = fields[4];
-
-                    Book book = new Book(title, author, isbn, year, genre);
-
-                    // Check for duplicates before adding
-                    if (!books.contains(book)) {
-                        addBook(book);
-                    }
+                batch.add(line);
+                if (batch.size() == ImportDeduplicator.BATCH_SIZE) {
+                    books.addAll(deduplicator.deduplicate(batch));
+                    batch.clear();
                 }
             }
+            books.addAll(deduplicator.deduplicate(batch));
+
             System.out.println("Books imported from CSV file: " + fileName);
-        } catch (IOException | NumberFormatException e) {
+            System.out.printf("Rows read: %d, duplicates skipped: %d (%.1f%%), invalid rows: %d%n",
+                    deduplicator.getRowsRead(), deduplicator.getDuplicates(),
+                    deduplicator.getDuplicateRate() * 100, deduplicator.getRejected());
+        } catch (IOException e) {
             System.err.println("Error importing from CSV: " + e.getMessage());
         }
+        return deduplicator;
     }
 
 
@@ -160,7 +173,7 @@ public class Library {
     public void loadFromFile(String fileName) {
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(fileName))) {
             List<Book> loadedBooks = (List<Book>) ois.readObject(); // Deserialize as List
-            books.setAll(loadedBooks); // Convert back to ObservableList
+            books.setAll(new LinkedHashSet<>(loadedBooks)); // Convert back to ObservableList, dropping repeated ISBNs
             System.out.println("Library loaded from file: " + fileName);
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Error loading library: " + e.getMessage());
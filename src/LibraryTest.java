@@ -1,3 +1,7 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
 public class LibraryTest {
     public static void main(String[] args) {
         // Step 1: Create a Library instance
@@ -87,11 +91,52 @@ public class LibraryTest {
         System.out.println("\nBooks after importing from CSV:");
         library.displayAllBooks();
 
-        // Step 15: Save books to a file
+        // Step 15: Re-import the same CSV file; every row is a duplicate
+        System.out.println("\nRe-importing books from CSV...");
+        int sizeBefore = library.getBooks().size();
+        ImportDeduplicator reimport = library.importFromCSV("books.csv");
+        int added = library.getBooks().size() - sizeBefore;
+        if (added == 0 && reimport.getDuplicateRate() == 1.0) {
+            System.out.println("Re-import added no books (100% duplicates), as expected.");
+        } else {
+            System.out.println("Unexpected re-import result: " + added + " books added, duplicate rate "
+                    + reimport.getDuplicateRate());
+        }
+
+        // Step 16: Import a file with repeated ISBNs, where the first occurrence is malformed
+        System.out.println("\nImporting CSV with repeated ISBNs...");
+        try (FileWriter writer = new FileWriter("books_repeats.csv")) {
+            writer.write("Title,Author,ISBN,Year,Genre\n");
+            writer.write("Missing Genre,Author A,9781234567101,2000\n");          // Too few fields
+            writer.write("Kept First,Author A,9781234567101,2000,Fiction\n");
+            writer.write("Extra Field,Author B,9781234567102,2000,Fiction,extra\n"); // Too many fields
+            writer.write("Bad Year,Author B,9781234567102,20x0,Fiction\n");        // Unparsable year
+            writer.write("Kept Second,Author B,9781234567102,2001,Fiction\n");
+            writer.write("Repeat,Author A,9781234567101,2002,Fiction\n");          // Duplicate in file
+            writer.write("Peter Pan,J.M. Barrie,9781234567001,1911,Fantasy\n");    // Duplicate of library
+        } catch (IOException e) {
+            System.err.println("Error writing test CSV: " + e.getMessage());
+        }
+        sizeBefore = library.getBooks().size();
+        ImportDeduplicator repeats = library.importFromCSV("books_repeats.csv");
+        added = library.getBooks().size() - sizeBefore;
+        if (added == 2 && repeats.getDuplicates() == 2 && repeats.getRejected() == 3) {
+            System.out.println("Imported 2 books, skipped 2 duplicates and 3 invalid rows, as expected.");
+        } else {
+            System.out.println("Unexpected import result: " + added + " added, " + repeats.getDuplicates()
+                    + " duplicates, " + repeats.getRejected() + " invalid rows");
+        }
+        library.searchBooksByISBN("9781234567101");
+        library.searchBooksByISBN("9781234567102");
+        library.removeBook("9781234567101");
+        library.removeBook("9781234567102");
+        new File("books_repeats.csv").delete();
+
+        // Step 17: Save books to a file
         System.out.println("\nSaving books to file...");
         library.saveToFile("library_data.ser");
 
-        // Step 16: Reload the library to confirm serialization
+        // Step 18: Reload the library to confirm serialization
         Library newLibrary = new Library();
         newLibrary.loadFromFile("library_data.ser");
         System.out.println("\nBooks after reloading from file:");